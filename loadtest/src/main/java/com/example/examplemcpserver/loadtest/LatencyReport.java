@@ -0,0 +1,127 @@
+package com.example.examplemcpserver.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the run summary and writes HdrHistogram output files.
+ *
+ * For every tool (and the aggregate "all") the output directory gets a
+ * percentile distribution ({@code .hgrm}, loadable in the HdrHistogram
+ * plotter) for the corrected response time, plus one {@code .hlog} with
+ * all histograms in compressed form for later merging across runs.
+ */
+public class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, LatencyStats.Snapshot> snapshots;
+    private final Duration elapsed;
+
+    public LatencyReport(Map<String, LatencyStats.Snapshot> snapshots, Duration elapsed) {
+        this.snapshots = snapshots;
+        this.elapsed = elapsed;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        out.printf("%-24s %10s %10s %8s %10s %10s %10s %10s%n",
+                "tool", "calls", "ops/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long totalCalls = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, LatencyStats.Snapshot> entry : snapshots.entrySet()) {
+            LatencyStats.Snapshot s = entry.getValue();
+            printRow(out, entry.getKey(), s.responseTime(), s.calls(), s.errors(), seconds);
+            totalCalls += s.calls();
+            totalErrors += s.errors();
+        }
+        Histogram total = aggregate();
+        if (total != null) {
+            printRow(out, "all", total, totalCalls, totalErrors, seconds);
+            out.printf("error rate: %.4f%%%n", totalCalls == 0 ? 0.0 : 100.0 * totalErrors / totalCalls);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram h, long calls, long errors, double seconds) {
+        out.printf("%-24s %10d %10.1f %8d %10.3f %10.3f %10.3f %10.3f%n",
+                name, calls, calls / seconds, errors,
+                h.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                h.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                h.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                h.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Check the aggregate results against the configured release gates
+     *
+     * @return a description of every violated gate, empty when the run passed
+     */
+    public List<String> gateViolations(double maxP99Millis, double maxErrorRatePercent) {
+        List<String> violations = new ArrayList<>();
+        Histogram total = aggregate();
+        if (total == null) {
+            violations.add("no calls completed");
+            return violations;
+        }
+        long calls = snapshots.values().stream().mapToLong(LatencyStats.Snapshot::calls).sum();
+        long errors = snapshots.values().stream().mapToLong(LatencyStats.Snapshot::errors).sum();
+        double p99 = total.getValueAtPercentile(99.0) / NANOS_PER_MILLI;
+        double errorRate = 100.0 * errors / calls;
+        if (maxP99Millis >= 0 && p99 > maxP99Millis) {
+            violations.add(String.format("p99 %.3f ms exceeds limit %.3f ms", p99, maxP99Millis));
+        }
+        if (maxErrorRatePercent >= 0 && errorRate > maxErrorRatePercent) {
+            violations.add(String.format("error rate %.4f%% exceeds limit %.4f%%", errorRate, maxErrorRatePercent));
+        }
+        return violations;
+    }
+
+    private Histogram aggregate() {
+        Histogram total = null;
+        for (LatencyStats.Snapshot s : snapshots.values()) {
+            if (total == null) {
+                total = s.responseTime().copy();
+            } else {
+                total.add(s.responseTime());
+            }
+        }
+        return total;
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream log = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Map.Entry<String, LatencyStats.Snapshot> entry : snapshots.entrySet()) {
+                Histogram response = entry.getValue().responseTime();
+                Histogram service = entry.getValue().serviceTime();
+                response.setTag(entry.getKey() + ".response");
+                service.setTag(entry.getKey() + ".service");
+                writer.outputIntervalHistogram(response);
+                writer.outputIntervalHistogram(service);
+                writeDistribution(directory.resolve(entry.getKey() + ".hgrm"), response);
+            }
+        }
+        Histogram total = aggregate();
+        if (total != null) {
+            writeDistribution(directory.resolve("all.hgrm"), total);
+        }
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+}
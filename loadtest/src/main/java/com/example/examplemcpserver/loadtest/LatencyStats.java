@@ -0,0 +1,90 @@
+package com.example.examplemcpserver.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency and error bookkeeping per tool.
+ *
+ * Each tool keeps two histograms: the service time measured from the
+ * moment a request was actually sent, and the response time measured from
+ * the moment it was supposed to be sent. The latter is corrected for
+ * coordinated omission: in open-loop runs from the schedule itself, and in
+ * closed-loop runs by back-filling the samples a stalled session failed to
+ * issue at the expected rate.
+ */
+public class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final long expectedIntervalNanos;
+    private final Map<String, ToolStats> tools = new ConcurrentHashMap<>();
+
+    /**
+     * @param expectedIntervalNanos per-session interval used to back-fill
+     *        closed-loop samples, or 0 for open-loop runs and uncorrected closed-loop runs
+     */
+    public LatencyStats(long expectedIntervalNanos) {
+        this.expectedIntervalNanos = expectedIntervalNanos;
+    }
+
+    /**
+     * Record one completed call
+     *
+     * @param intendedStartNanos when the call should have started (equal to {@code startNanos} in closed-loop runs)
+     * @param startNanos when the call was actually sent
+     * @param endNanos when the response was received
+     */
+    public void record(String tool, long intendedStartNanos, long startNanos, long endNanos, boolean error) {
+        ToolStats stats = tools.computeIfAbsent(tool, t -> new ToolStats());
+        long serviceTime = Math.min(endNanos - startNanos, HIGHEST_TRACKABLE);
+        long responseTime = Math.min(endNanos - intendedStartNanos, HIGHEST_TRACKABLE);
+        stats.serviceTime.recordValue(serviceTime);
+        if (expectedIntervalNanos > 0) {
+            stats.responseTime.recordValueWithExpectedInterval(responseTime, expectedIntervalNanos);
+        } else {
+            stats.responseTime.recordValue(responseTime);
+        }
+        stats.calls.increment();
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Drop everything recorded so far, used at the end of the warmup phase
+     */
+    public void reset() {
+        tools.clear();
+    }
+
+    /**
+     * Take a snapshot of the histograms recorded since the last reset
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        tools.forEach((tool, stats) -> result.put(tool, new Snapshot(
+                stats.serviceTime.getIntervalHistogram(),
+                stats.responseTime.getIntervalHistogram(),
+                stats.calls.sum(),
+                stats.errors.sum())));
+        return result;
+    }
+
+    public record Snapshot(Histogram serviceTime, Histogram responseTime, long calls, long errors) {
+    }
+
+    private static final class ToolStats {
+        final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE, SIGNIFICANT_DIGITS);
+        final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE, SIGNIFICANT_DIGITS);
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+}
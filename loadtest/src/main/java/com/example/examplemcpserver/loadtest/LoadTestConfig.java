@@ -0,0 +1,111 @@
+package com.example.examplemcpserver.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options for a load test run.
+ *
+ * <pre>
+ * --url=http://localhost:8081      base URL of a running server
+ * --server-jar=../target/x.jar     start the server from this jar instead
+ * --port=18081                     port for a server started from --server-jar
+ * --sessions=16                    concurrent MCP sessions
+ * --duration=60s                   measured run length
+ * --warmup=10s                     unmeasured run length before measuring
+ * --mode=closed|open               closed-loop (back-to-back) or open-loop (fixed rate)
+ * --rate=500                       total calls per second (open-loop, or expected rate for closed-loop
+ *                                  correction; closed-loop runs without it are uncorrected)
+ * --mix=book=60,math=30,date=10    relative weight of each tool family
+ * --output=results                 directory for histogram output
+ * --max-p99-ms=50                  fail the run if the aggregate corrected p99 exceeds this
+ * --max-error-rate=0.1             fail the run if more than this percentage of calls fail
+ * </pre>
+ */
+public record LoadTestConfig(
+        String url,
+        Path serverJar,
+        int port,
+        int sessions,
+        Duration duration,
+        Duration warmup,
+        Mode mode,
+        double rate,
+        Map<ToolFamily, Integer> mix,
+        Path outputDirectory,
+        double maxP99Millis,
+        double maxErrorRatePercent) {
+
+    public enum Mode { OPEN, CLOSED }
+
+    public static LoadTestConfig parse(String... args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument '" + arg + "', expected --name=value");
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        Path serverJar = options.containsKey("server-jar") ? Path.of(options.get("server-jar")) : null;
+        int port = Integer.parseInt(options.getOrDefault("port", "18081"));
+        String url = options.getOrDefault("url", serverJar != null ? "http://localhost:" + port : "http://localhost:8081");
+        int sessions = Integer.parseInt(options.getOrDefault("sessions", "16"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        Mode mode = Mode.valueOf(options.getOrDefault("mode", "closed").toUpperCase());
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Map<ToolFamily, Integer> mix = parseMix(options.getOrDefault("mix", "book=60,math=30,date=10"));
+        Path output = Path.of(options.getOrDefault("output", "results"));
+        double maxP99 = Double.parseDouble(options.getOrDefault("max-p99-ms", "-1"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "-1"));
+
+        if (sessions <= 0) {
+            throw new IllegalArgumentException("sessions must be positive");
+        }
+        if (mode == Mode.OPEN && rate <= 0) {
+            throw new IllegalArgumentException("open-loop mode requires --rate > 0");
+        }
+        return new LoadTestConfig(url, serverJar, port, sessions, duration, warmup, mode, rate, mix, output,
+                maxP99, maxErrorRate);
+    }
+
+    /**
+     * Expected interval between two calls of a single session, or 0 when no rate was given
+     */
+    public long expectedIntervalNanos() {
+        return rate > 0 ? (long) (1_000_000_000L * sessions / rate) : 0L;
+    }
+
+    static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    static Map<ToolFamily, Integer> parseMix(String value) {
+        Map<ToolFamily, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] kv = part.split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected family=weight");
+            }
+            mix.put(ToolFamily.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix weights must add up to a positive number");
+        }
+        return mix;
+    }
+}
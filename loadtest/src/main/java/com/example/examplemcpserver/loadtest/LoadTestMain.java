@@ -0,0 +1,115 @@
+package com.example.examplemcpserver.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the load test harness.
+ *
+ * Opens the configured number of MCP sessions against {@code /mcp/sse},
+ * replays the tool mix for a warmup period (discarded) and a measured
+ * period, then prints the summary and writes HdrHistogram output. Exits
+ * with status 1 when a configured release gate is violated.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ServerProcess server = null;
+        int exitCode;
+        try {
+            if (config.serverJar() != null) {
+                System.out.println("Starting server from " + config.serverJar() + " on port " + config.port());
+                server = ServerProcess.start(config.serverJar(), config.port(),
+                        config.outputDirectory().resolve("server.log"));
+            }
+            exitCode = run(config);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    static int run(LoadTestConfig config) throws Exception {
+        // Open-loop runs are corrected by measuring from the schedule, not by back-filling
+        LatencyStats stats = new LatencyStats(
+                config.mode() == LoadTestConfig.Mode.CLOSED ? config.expectedIntervalNanos() : 0L);
+        ToolMix mix = new ToolMix(config.mix());
+
+        if (config.mode() == LoadTestConfig.Mode.CLOSED && config.rate() <= 0) {
+            System.out.println("WARNING: closed-loop run without --rate, latencies are NOT corrected for "
+                    + "coordinated omission and understate the tail; pass --rate to back-fill stalled calls");
+        }
+
+        List<McpSession> sessions = new ArrayList<>(config.sessions());
+        ExecutorService executor = Executors.newFixedThreadPool(config.sessions());
+        try {
+            for (int i = 0; i < config.sessions(); i++) {
+                McpSession session = new McpSession(config.url(), mix, stats, 31L * i + 17);
+                sessions.add(session);
+                session.connect();
+            }
+            System.out.printf("Opened %d MCP sessions against %s (%s-loop%s)%n",
+                    sessions.size(), config.url(), config.mode().name().toLowerCase(),
+                    config.rate() > 0 ? ", " + config.rate() + " calls/s" : "");
+
+            RunFlag running = new RunFlag();
+            CountDownLatch finished = new CountDownLatch(sessions.size());
+            for (McpSession session : sessions) {
+                executor.execute(() -> {
+                    try {
+                        if (config.mode() == LoadTestConfig.Mode.OPEN) {
+                            session.runOpenLoop(running::get, config.expectedIntervalNanos());
+                        } else {
+                            session.runClosedLoop(running::get);
+                        }
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+
+            TimeUnit.NANOSECONDS.sleep(config.warmup().toNanos());
+            stats.reset();
+            long measureStart = System.nanoTime();
+            TimeUnit.NANOSECONDS.sleep(config.duration().toNanos());
+            Map<String, LatencyStats.Snapshot> snapshot = stats.snapshot();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - measureStart);
+
+            running.stop();
+            finished.await(30, TimeUnit.SECONDS);
+
+            LatencyReport report = new LatencyReport(snapshot, elapsed);
+            report.print(System.out);
+            report.write(config.outputDirectory());
+            System.out.println("Histograms written to " + config.outputDirectory().toAbsolutePath());
+
+            List<String> violations = report.gateViolations(config.maxP99Millis(), config.maxErrorRatePercent());
+            violations.forEach(v -> System.out.println("GATE FAILED: " + v));
+            return violations.isEmpty() ? 0 : 1;
+        } finally {
+            executor.shutdownNow();
+            sessions.forEach(McpSession::close);
+        }
+    }
+
+    private static final class RunFlag {
+        private volatile boolean running = true;
+
+        boolean get() {
+            return running;
+        }
+
+        void stop() {
+            running = false;
+        }
+    }
+}
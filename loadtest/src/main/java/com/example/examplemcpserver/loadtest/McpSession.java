@@ -0,0 +1,102 @@
+package com.example.examplemcpserver.loadtest;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One MCP client session replaying tool calls against the server.
+ */
+public class McpSession implements AutoCloseable {
+
+    private static final String SSE_ENDPOINT = "/mcp/sse";
+
+    private final McpSyncClient client;
+    private final ToolMix mix;
+    private final LatencyStats stats;
+    private final SplittableRandom random;
+
+    public McpSession(String baseUrl, ToolMix mix, LatencyStats stats, long seed) {
+        HttpClientSseClientTransport transport = HttpClientSseClientTransport.builder(baseUrl)
+                .sseEndpoint(SSE_ENDPOINT)
+                .build();
+        this.client = McpClient.sync(transport)
+                .requestTimeout(Duration.ofSeconds(30))
+                .build();
+        this.mix = mix;
+        this.stats = stats;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void connect() {
+        client.initialize();
+    }
+
+    /**
+     * Issue calls back to back until {@code running} turns false
+     */
+    public void runClosedLoop(BooleanSupplier running) {
+        while (running.getAsBoolean()) {
+            long start = System.nanoTime();
+            call(start, start);
+        }
+    }
+
+    /**
+     * Issue calls on a fixed schedule until {@code running} turns false.
+     * Latency is measured from the scheduled start, so a slow response
+     * delaying the next call shows up in the recorded latencies instead of
+     * silently lowering the offered load.
+     */
+    public void runOpenLoop(BooleanSupplier running, long intervalNanos) {
+        // Spread sessions over the first interval so they don't fire in lockstep
+        long next = System.nanoTime() + (long) (random.nextDouble() * intervalNanos);
+        while (running.getAsBoolean()) {
+            long now = System.nanoTime();
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+            call(next, now);
+            next += intervalNanos;
+        }
+    }
+
+    private void call(long intendedStart, long start) {
+        ToolFamily.ToolCall call = mix.next(random);
+        boolean error;
+        try {
+            McpSchema.CallToolResult result = client.callTool(
+                    new McpSchema.CallToolRequest(call.tool(), call.arguments()));
+            error = Boolean.TRUE.equals(result.isError()) || isErrorText(result);
+        } catch (RuntimeException e) {
+            error = true;
+        }
+        stats.record(call.tool(), intendedStart, start, System.nanoTime(), error);
+    }
+
+    /**
+     * BookTool reports failures as "Error..." text rather than tool errors
+     */
+    private static boolean isErrorText(McpSchema.CallToolResult result) {
+        return result.content() != null && !result.content().isEmpty()
+                && result.content().get(0) instanceof McpSchema.TextContent text
+                && text.text() != null
+                && (text.text().startsWith("Error") || text.text().startsWith("\"Error"));
+    }
+
+    @Override
+    public void close() {
+        try {
+            client.closeGracefully();
+        } catch (RuntimeException e) {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.examplemcpserver.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the packaged ExamplemcpserverApplication as a child process on a
+ * local port, so a run needs nothing but the built jar. {@link #start}
+ * returns once the server reports ready, i.e. after its warmup.
+ */
+public class ServerProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+
+    private final Process process;
+
+    private ServerProcess(Process process) {
+        this.process = process;
+    }
+
+    public static ServerProcess start(Path jar, int port, Path logFile) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Server jar not found: " + jar + " (run 'mvn package' in the project root)");
+        }
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        ProcessBuilder builder = new ProcessBuilder(List.of(
+                java.toString(),
+                "-jar", jar.toAbsolutePath().toString(),
+                "--server.port=" + port,
+                // SQL and MCP debug logging would dominate the measurements
+                "--spring.jpa.show-sql=false",
+                "--logging.level.io.modelcontextprotocol=WARN",
+                "--logging.level.org.springframework.ai.mcp=WARN"))
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        ServerProcess server = new ServerProcess(builder.start());
+        server.awaitReady(port);
+        return server;
+    }
+
+    /**
+     * Wait for the readiness probe rather than the port: Tomcat listens
+     * before the data load and warmup ran, and MCP requests are answered
+     * with 503 until they finished
+     */
+    private void awaitReady(int port) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + READINESS_PATH))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Server exited during startup with code " + process.exitValue());
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            TimeUnit.MILLISECONDS.sleep(250);
+        }
+        close();
+        throw new IllegalStateException("Server did not report ready on " + READINESS_PATH + " within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
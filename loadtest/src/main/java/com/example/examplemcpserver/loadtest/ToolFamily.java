@@ -0,0 +1,65 @@
+package com.example.examplemcpserver.loadtest;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tool groups exposed by the server, each producing a representative
+ * spread of calls against its {@code @Tool} methods.
+ */
+public enum ToolFamily {
+
+    BOOK {
+        private static final String[] AUTHORS = {"Orwell", "Asimov", "Martin", "Tolkien", "Bloch", "Weir"};
+        private static final String[] NAMES = {"the", "code", "war", "sun", "dune", "java"};
+
+        @Override
+        ToolCall next(RandomGenerator random) {
+            return switch (random.nextInt(6)) {
+                case 0 -> new ToolCall("get_all_books", Map.of());
+                case 1 -> new ToolCall("get_book_by_id", Map.of("bookId", 1 + random.nextInt(21)));
+                case 2 -> new ToolCall("search_books_by_author",
+                        Map.of("author", AUTHORS[random.nextInt(AUTHORS.length)]));
+                case 3 -> new ToolCall("search_books_by_name",
+                        Map.of("bookName", NAMES[random.nextInt(NAMES.length)]));
+                case 4 -> {
+                    int start = 1900 + random.nextInt(100);
+                    yield new ToolCall("find_books",
+                            Map.of("minYear", start, "maxYear", start + 20, "sortBy", "price", "limit", 10));
+                }
+                default -> new ToolCall("get_library_stats", Map.of());
+            };
+        }
+    },
+
+    MATH {
+        @Override
+        ToolCall next(RandomGenerator random) {
+            Map<String, Object> args = Map.of("a", random.nextInt(1000), "b", 1 + random.nextInt(1000));
+            return switch (random.nextInt(4)) {
+                case 0 -> new ToolCall("add", args);
+                case 1 -> new ToolCall("subtract", args);
+                case 2 -> new ToolCall("multiply", args);
+                default -> new ToolCall("divide", args);
+            };
+        }
+    },
+
+    DATE {
+        @Override
+        ToolCall next(RandomGenerator random) {
+            Map<String, Object> args = Map.of("days", random.nextInt(365));
+            return random.nextBoolean()
+                    ? new ToolCall("addDays", args)
+                    : new ToolCall("subtractDays", args);
+        }
+    };
+
+    abstract ToolCall next(RandomGenerator random);
+
+    /**
+     * A single tool invocation to replay
+     */
+    public record ToolCall(String tool, Map<String, Object> arguments) {
+    }
+}
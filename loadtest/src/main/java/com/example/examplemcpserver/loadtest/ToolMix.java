@@ -0,0 +1,38 @@
+package com.example.examplemcpserver.loadtest;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted selection of the next tool call according to the configured mix.
+ */
+public class ToolMix {
+
+    private final ToolFamily[] families;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public ToolMix(Map<ToolFamily, Integer> weights) {
+        this.families = new ToolFamily[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int i = 0;
+        int sum = 0;
+        for (Map.Entry<ToolFamily, Integer> entry : weights.entrySet()) {
+            sum += entry.getValue();
+            families[i] = entry.getKey();
+            cumulativeWeights[i] = sum;
+            i++;
+        }
+        this.totalWeight = sum;
+    }
+
+    public ToolFamily.ToolCall next(RandomGenerator random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return families[i].next(random);
+            }
+        }
+        return families[families.length - 1].next(random);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.examplemcpserver.diagnostics;
+
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the JFR tool invocation event around a trivial tool call.
+ *
+ * With {@code recording=false} the {@code instrumented} score should match
+ * {@code baseline} within noise and, under {@code -prof gc}, allocate no
+ * more per call: the event object does not escape and is scalar replaced.
+ * {@code recording=true} shows the cost when the event is being recorded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JfrEventOverheadBenchmark {
+
+    private static final String ARGUMENTS = "{\"a\": 7, \"b\": 35}";
+
+    @Param({"false", "true"})
+    public boolean recording;
+
+    private ToolCallback plain;
+    private ToolCallback instrumented;
+    private Recording jfr;
+
+    @Setup
+    public void setUp() {
+        plain = new EchoToolCallback();
+        instrumented = JfrToolCallbackProvider.wrap(() -> new ToolCallback[] {plain}).getToolCallbacks()[0];
+        if (recording) {
+            jfr = new Recording();
+            jfr.enable(ToolInvocationEvent.class).withoutThreshold();
+            jfr.setToDisk(false);
+            jfr.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (jfr != null) {
+            jfr.close();
+        }
+    }
+
+    @Benchmark
+    public String baseline() {
+        return plain.call(ARGUMENTS);
+    }
+
+    @Benchmark
+    public String instrumented() {
+        return instrumented.call(ARGUMENTS);
+    }
+
+    private static final class EchoToolCallback implements ToolCallback {
+
+        private final ToolDefinition definition = ToolDefinition.builder()
+                .name("echo")
+                .description("Returns its input")
+                .inputSchema("{}")
+                .build();
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return definition;
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return toolInput;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.examplemcpserver.repository;
+
+import com.example.examplemcpserver.entity.Book;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap churn of one listing call: managed {@link Book} entities versus
+ * {@link BookView} projections, each in its own read-only transaction as
+ * {@code BookService} runs them.
+ *
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}
+ * (bytes allocated per listing) between the two benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookListingAllocationBenchmark {
+
+    @Param({"20", "1000", "10000"})
+    public int catalogSize;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Book.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:listing_benchmark;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.SHOW_SQL, "false")
+                .buildSessionFactory();
+
+        sessionFactory.inStatelessTransaction(session -> {
+            for (int i = 0; i < catalogSize; i++) {
+                session.insert(new Book("Book " + i, "Author " + (i % 97), 1900 + i % 120,
+                        BigDecimal.valueOf(500 + i % 5000, 2)));
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void managedEntities(Blackhole blackhole) {
+        sessionFactory.inTransaction(session -> {
+            // What Spring applies to a @Transactional(readOnly = true) Hibernate session
+            session.setDefaultReadOnly(true);
+            for (Book book : session.createSelectionQuery("FROM Book b ORDER BY b.id", Book.class).getResultList()) {
+                blackhole.consume(book.getBookName());
+                blackhole.consume(book.getPrice());
+            }
+        });
+    }
+
+    @Benchmark
+    public void projections(Blackhole blackhole) {
+        sessionFactory.inTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            for (BookView book : session
+                    .createSelectionQuery(BookRepository.BOOK_VIEW + "ORDER BY b.id", BookView.class)
+                    .getResultList()) {
+                blackhole.consume(book.bookName());
+                blackhole.consume(book.price());
+            }
+        });
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.examplemcpserver;
 
+import com.example.examplemcpserver.config.CatalogShardToolCallbackProvider;
+import com.example.examplemcpserver.config.CatalogShards;
+import com.example.examplemcpserver.diagnostics.JfrToolCallbackProvider;
+import com.example.examplemcpserver.tools.BatchTool;
 import com.example.examplemcpserver.tools.BookTool;
+import com.example.examplemcpserver.tools.CatalogAdminTool;
 import com.example.examplemcpserver.tools.DateTool;
 import com.example.examplemcpserver.tools.MathTool;
 import org.springframework.ai.tool.ToolCallbackProvider;
@@ -8,6 +13,7 @@ import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
@@ -15,6 +21,12 @@ public class ExamplemcpserverApplication {
 	
 	@Autowired
 	private BookTool bookTool;
+	
+	@Autowired
+	private BatchTool batchTool;
+	
+	@Autowired
+	private CatalogShards catalogShards;
 
 	public static void main(String[] args) {
 		SpringApplication.run(ExamplemcpserverApplication.class, args);
@@ -22,22 +34,37 @@ public class ExamplemcpserverApplication {
 
 	@Bean
 	public ToolCallbackProvider mathTools() {
-		return MethodToolCallbackProvider.builder()
+		return JfrToolCallbackProvider.wrap(MethodToolCallbackProvider.builder()
 				.toolObjects(new MathTool())
-				.build();
+				.build());
 	}
 
 	@Bean
 	public ToolCallbackProvider dateTools() {
-		return MethodToolCallbackProvider.builder()
+		return JfrToolCallbackProvider.wrap(MethodToolCallbackProvider.builder()
 				.toolObjects(new DateTool())
-				.build();
+				.build());
 	}
 	
 	@Bean
 	public ToolCallbackProvider bookTools() {
-		return MethodToolCallbackProvider.builder()
+		return JfrToolCallbackProvider.wrap(CatalogShardToolCallbackProvider.wrap(MethodToolCallbackProvider.builder()
 				.toolObjects(bookTool)
-				.build();
+				.build(), catalogShards));
+	}
+	
+	@Bean
+	@ConditionalOnProperty(prefix = "catalog", name = "admin-tools-enabled", havingValue = "true")
+	public ToolCallbackProvider catalogAdminTools(CatalogAdminTool catalogAdminTool) {
+		return JfrToolCallbackProvider.wrap(MethodToolCallbackProvider.builder()
+				.toolObjects(catalogAdminTool)
+				.build());
+	}
+	
+	@Bean
+	public ToolCallbackProvider batchTools() {
+		return JfrToolCallbackProvider.wrap(MethodToolCallbackProvider.builder()
+				.toolObjects(batchTool)
+				.build());
 	}
 }
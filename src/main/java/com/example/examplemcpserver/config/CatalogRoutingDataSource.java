@@ -0,0 +1,29 @@
+package com.example.examplemcpserver.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes each connection to the data source of the shard bound in
+ * {@link CatalogShardContext}, or to the default shard when none is bound.
+ */
+public class CatalogRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CatalogShardContext.currentShard();
+    }
+
+    /**
+     * Close the connection pools of all shards
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : getResolvedDataSources().values()) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.examplemcpserver.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog sharding: every shard is its own H2 database behind one routing
+ * data source. The default (first) shard uses the regular
+ * {@code spring.datasource} settings; the others are created from
+ * {@code catalog.url-template}.
+ */
+@Configuration
+public class CatalogShardConfig {
+
+    @Bean
+    public CatalogShards catalogShards(Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<String> shardNames = binder.bind("catalog.shards", Bindable.listOf(String.class))
+                .orElse(List.of("main"));
+        Map<String, String> tenants = binder
+                .bind("catalog.tenants", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        return new CatalogShards(shardNames, tenants);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 CatalogShards catalogShards,
+                                 Environment environment,
+                                 @Value("${catalog.url-template:jdbc:h2:mem:catalog_%s;DB_CLOSE_DELAY=-1}") String urlTemplate) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource defaultShard = bindHikari(binder, properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build(), catalogShards.getDefaultShard());
+
+        Map<Object, Object> shards = new HashMap<>();
+        shards.put(catalogShards.getDefaultShard(), defaultShard);
+        for (String shard : catalogShards.getShardNames()) {
+            if (!shard.equals(catalogShards.getDefaultShard())) {
+                shards.put(shard, bindHikari(binder, DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .driverClassName(properties.determineDriverClassName())
+                        .url(String.format(urlTemplate, shard))
+                        .username(properties.determineUsername())
+                        .password(properties.determinePassword())
+                        .build(), shard));
+            }
+        }
+
+        CatalogRoutingDataSource routing = new CatalogRoutingDataSource();
+        routing.setTargetDataSources(shards);
+        routing.setDefaultTargetDataSource(defaultShard);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * Apply {@code spring.datasource.hikari.*} to a shard pool, as the
+     * auto-configured data source would. A configured pool name gets the
+     * shard appended so every pool stays distinguishable.
+     */
+    private static HikariDataSource bindHikari(Binder binder, HikariDataSource dataSource, String shard) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        if (dataSource.getPoolName() != null) {
+            dataSource.setPoolName(dataSource.getPoolName() + "-" + shard);
+        }
+        return dataSource;
+    }
+}
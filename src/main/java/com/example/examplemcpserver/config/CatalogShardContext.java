@@ -0,0 +1,47 @@
+package com.example.examplemcpserver.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the catalog shard the current thread works against. The routing
+ * data source reads it when a transaction opens its connection, so it has
+ * to be set before entering {@code BookService}.
+ */
+public final class CatalogShardContext {
+
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private CatalogShardContext() {
+    }
+
+    /**
+     * The shard bound to the current thread, or null for the default shard
+     */
+    public static String currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Run an action against the given shard, restoring the previous binding afterwards
+     */
+    public static <T> T callInShard(String shard, Supplier<T> action) {
+        String previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    public static void runInShard(String shard, Runnable action) {
+        callInShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.examplemcpserver.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the book schema in every non-default shard. Hibernate's own
+ * schema generation only reaches the default shard, because that is where
+ * the routing data source sends connections while no shard is bound.
+ */
+@Component
+@Order(0)
+public class CatalogShardSchemaInitializer implements CommandLineRunner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogShards catalogShards;
+
+    public CatalogShardSchemaInitializer(EntityManagerFactory entityManagerFactory, CatalogShards catalogShards) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogShards = catalogShards;
+    }
+
+    @Override
+    public void run(String... args) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        for (String shard : catalogShards.getShardNames()) {
+            if (!shard.equals(catalogShards.getDefaultShard())) {
+                CatalogShardContext.runInShard(shard,
+                        () -> sessionFactory.getSchemaManager().exportMappedObjects(true));
+            }
+        }
+        if (catalogShards.getShardNames().size() > 1) {
+            System.out.println("🗂️ Catalog shards ready: " + String.join(", ", catalogShards.getShardNames()));
+        }
+    }
+}
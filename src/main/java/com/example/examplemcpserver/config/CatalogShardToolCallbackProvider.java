@@ -0,0 +1,54 @@
+package com.example.examplemcpserver.config;
+
+import com.example.examplemcpserver.tools.DecoratingToolCallback;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+/**
+ * Wraps the callbacks of a {@link ToolCallbackProvider} so each call runs
+ * against the catalog shard of the MCP session that made it. The tenant is
+ * the client name the session announced when it initialized.
+ */
+public final class CatalogShardToolCallbackProvider {
+
+    private CatalogShardToolCallbackProvider() {
+    }
+
+    public static ToolCallbackProvider wrap(ToolCallbackProvider delegate, CatalogShards catalogShards) {
+        return DecoratingToolCallback.decorate(delegate,
+                callback -> new ShardRoutingToolCallback(callback, catalogShards));
+    }
+
+    /**
+     * Tenant of the MCP session behind a tool call, or null outside of an MCP session
+     */
+    public static String tenantOf(ToolContext toolContext) {
+        if (toolContext == null || toolContext.getContext() == null) {
+            return null;
+        }
+        if (toolContext.getContext().get(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY) instanceof McpSyncServerExchange exchange
+                && exchange.getClientInfo() != null) {
+            return exchange.getClientInfo().name();
+        }
+        return null;
+    }
+
+    static final class ShardRoutingToolCallback extends DecoratingToolCallback {
+
+        private final CatalogShards catalogShards;
+
+        ShardRoutingToolCallback(ToolCallback delegate, CatalogShards catalogShards) {
+            super(delegate);
+            this.catalogShards = catalogShards;
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            String shard = catalogShards.shardForTenant(tenantOf(toolContext));
+            return CatalogShardContext.callInShard(shard, () -> delegate.call(toolInput, toolContext));
+        }
+    }
+}
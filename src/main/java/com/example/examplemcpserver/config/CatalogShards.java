@@ -0,0 +1,49 @@
+package com.example.examplemcpserver.config;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The configured catalog shards and which tenant lives on which shard.
+ * Tenants are identified by the client name an MCP session announces when
+ * it initializes; sessions from unmapped clients use the default shard.
+ * That name is chosen by the client, so routing by it keeps cooperating
+ * tenants apart but is not an access control boundary.
+ */
+public class CatalogShards {
+
+    private final List<String> shardNames;
+    private final Map<String, String> tenantShards;
+
+    public CatalogShards(List<String> shardNames, Map<String, String> tenantShards) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one catalog shard must be configured");
+        }
+        for (Map.Entry<String, String> entry : tenantShards.entrySet()) {
+            if (!shardNames.contains(entry.getValue())) {
+                throw new IllegalArgumentException(
+                    "Tenant '" + entry.getKey() + "' is mapped to unknown shard '" + entry.getValue() + "'");
+            }
+        }
+        this.shardNames = List.copyOf(shardNames);
+        this.tenantShards = Map.copyOf(tenantShards);
+    }
+
+    public List<String> getShardNames() {
+        return shardNames;
+    }
+
+    public String getDefaultShard() {
+        return shardNames.get(0);
+    }
+
+    /**
+     * Shard for the given tenant, falling back to the default shard
+     */
+    public String shardForTenant(String tenant) {
+        if (tenant == null) {
+            return getDefaultShard();
+        }
+        return tenantShards.getOrDefault(tenant, getDefaultShard());
+    }
+}
@@ -4,11 +4,13 @@ import com.example.examplemcpserver.entity.Book;
 import com.example.examplemcpserver.service.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 
 @Component
+@Order(1)
 public class DataInitializer implements CommandLineRunner {
     
     private final BookService bookService;
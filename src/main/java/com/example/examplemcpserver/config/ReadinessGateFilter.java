@@ -0,0 +1,52 @@
+package com.example.examplemcpserver.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers MCP requests with 503 until the application first accepted
+ * traffic, so clients that connect while {@link WarmupRunner} is still
+ * running retry instead of hitting a cold server. Once open the gate stays
+ * open, so sessions can finish their calls during graceful shutdown.
+ */
+@Component
+public class ReadinessGateFilter extends OncePerRequestFilter {
+
+    private static final String MCP_PATH_PREFIX = "/mcp/";
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private volatile boolean open;
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            open = true;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return open || !request.getRequestURI().startsWith(request.getContextPath() + MCP_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (open) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is warming up");
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.examplemcpserver.config;
+
+import com.example.examplemcpserver.tools.ToolResults;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays read-only tool calls after {@link DataInitializer} so the JIT and
+ * the Hibernate query plan cache are warm before the first real request.
+ *
+ * Command line runners complete before Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC}, so the actuator readiness probe
+ * stays down and {@link ReadinessGateFilter} turns MCP requests away until
+ * the warmup finished. Rounds are repeated until JIT compilation time and
+ * round latency stop changing, or the time budget runs out.
+ */
+@Component
+@Order(2)
+public class WarmupRunner implements CommandLineRunner {
+
+    /**
+     * Tools safe to replay: none of them modify the catalog
+     */
+    static final Set<String> READ_ONLY_TOOLS = Set.of(
+            "get_all_books", "get_book_by_id", "search_books_by_name", "search_books_by_author",
+            "get_books_by_year", "get_books_by_price_range", "find_books", "get_library_stats",
+            "add", "subtract", "multiply", "divide", "addDays", "subtractDays");
+
+    private static final List<String> SYNTHETIC_CALLS = List.of(
+            "get_all_books {}",
+            "get_book_by_id {\"bookId\": 1}",
+            "get_book_by_id {\"bookId\": 9999}",
+            "search_books_by_name {\"bookName\": \"the\"}",
+            "search_books_by_author {\"author\": \"Martin\"}",
+            "get_books_by_year {\"year\": 2011}",
+            "get_books_by_price_range {\"minPrice\": 10.0, \"maxPrice\": 20.0}",
+            "find_books {\"minYear\": 1950, \"maxYear\": 2000, \"sortBy\": \"price\", \"limit\": 10}",
+            "find_books {\"author\": \"a\", \"minPrice\": 15.0, \"sortBy\": \"year\", \"sortDirection\": \"desc\"}",
+            "get_library_stats {}",
+            "add {\"a\": 7, \"b\": 35}",
+            "subtract {\"a\": 7, \"b\": 35}",
+            "multiply {\"a\": 7, \"b\": 35}",
+            "divide {\"a\": 7, \"b\": 35}",
+            "addDays {\"days\": 30}",
+            "subtractDays {\"days\": 30}");
+
+    private final List<ToolCallbackProvider> toolCallbackProviders;
+    private final boolean enabled;
+    private final String callsFile;
+    private final int callsPerRound;
+    private final int minRounds;
+    private final int stableRounds;
+    private final double latencyTolerance;
+    private final long maxDurationMillis;
+
+    public WarmupRunner(List<ToolCallbackProvider> toolCallbackProviders,
+                        @Value("${warmup.enabled:true}") boolean enabled,
+                        @Value("${warmup.calls-file:}") String callsFile,
+                        @Value("${warmup.calls-per-round:200}") int callsPerRound,
+                        @Value("${warmup.min-rounds:5}") int minRounds,
+                        @Value("${warmup.stable-rounds:3}") int stableRounds,
+                        @Value("${warmup.latency-tolerance:0.05}") double latencyTolerance,
+                        @Value("${warmup.max-duration-ms:30000}") long maxDurationMillis) {
+        this.toolCallbackProviders = toolCallbackProviders;
+        this.enabled = enabled;
+        this.callsFile = callsFile;
+        this.callsPerRound = callsPerRound;
+        this.minRounds = minRounds;
+        this.stableRounds = stableRounds;
+        this.latencyTolerance = latencyTolerance;
+        this.maxDurationMillis = maxDurationMillis;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!enabled) {
+            return;
+        }
+        List<Invocation> invocations = resolve(callsFile.isBlank() ? SYNTHETIC_CALLS : readCallsFile(Path.of(callsFile)));
+        if (invocations.isEmpty()) {
+            System.out.println("⚠️ Warmup skipped: no read-only tool calls to replay");
+            return;
+        }
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean jitMonitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long started = System.nanoTime();
+        long deadline = started + maxDurationMillis * 1_000_000L;
+        long previousRoundNanos = -1;
+        long previousCompileMillis = jitMonitored ? jit.getTotalCompilationTime() : 0;
+        int stable = 0;
+        int rounds = 0;
+        int failures = 0;
+
+        while (System.nanoTime() < deadline) {
+            long roundStart = System.nanoTime();
+            for (int i = 0; i < callsPerRound; i++) {
+                Invocation invocation = invocations.get(i % invocations.size());
+                try {
+                    if (ToolResults.isError(invocation.callback().call(invocation.arguments()))) {
+                        failures++;
+                    }
+                } catch (RuntimeException e) {
+                    failures++;
+                }
+            }
+            long roundNanos = System.nanoTime() - roundStart;
+            rounds++;
+
+            long compileMillis = jitMonitored ? jit.getTotalCompilationTime() : 0;
+            boolean jitQuiet = jitMonitored && compileMillis == previousCompileMillis;
+            boolean latencySteady = previousRoundNanos > 0
+                    && Math.abs(roundNanos - previousRoundNanos) <= latencyTolerance * previousRoundNanos;
+            stable = jitQuiet || latencySteady ? stable + 1 : 0;
+            previousCompileMillis = compileMillis;
+            previousRoundNanos = roundNanos;
+
+            if (rounds >= minRounds && stable >= stableRounds) {
+                break;
+            }
+        }
+
+        System.out.printf("🔥 Warmup finished after %d rounds (%d calls, %d failed) in %d ms, last round %.3f ms/call%n",
+                rounds, (long) rounds * callsPerRound, failures,
+                (System.nanoTime() - started) / 1_000_000,
+                previousRoundNanos / 1_000_000.0 / callsPerRound);
+    }
+
+    private List<Invocation> resolve(List<String> lines) {
+        Map<String, ToolCallback> callbacks = new HashMap<>();
+        for (ToolCallbackProvider provider : toolCallbackProviders) {
+            for (ToolCallback callback : provider.getToolCallbacks()) {
+                callbacks.put(callback.getToolDefinition().name(), callback);
+            }
+        }
+
+        List<Invocation> invocations = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            int split = trimmed.indexOf(' ');
+            String name = split < 0 ? trimmed : trimmed.substring(0, split);
+            String arguments = split < 0 ? "{}" : trimmed.substring(split + 1).trim();
+            if (!READ_ONLY_TOOLS.contains(name)) {
+                System.err.println("⚠️ Warmup ignores non read-only tool: " + name);
+                continue;
+            }
+            ToolCallback callback = callbacks.get(name);
+            if (callback == null) {
+                System.err.println("⚠️ Warmup ignores unknown tool: " + name);
+                continue;
+            }
+            invocations.add(new Invocation(callback, arguments));
+        }
+        return invocations;
+    }
+
+    /**
+     * Recorded calls, one per line: {@code tool_name {"json": "arguments"}}
+     */
+    private static List<String> readCallsFile(Path file) throws IOException {
+        return Files.readAllLines(file);
+    }
+
+    private record Invocation(ToolCallback callback, String arguments) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.examplemcpserver.diagnostics;
+
+import com.example.examplemcpserver.repository.BookRepository;
+import com.example.examplemcpserver.service.BookService;
+import jdk.jfr.Event;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Adds JFR events around {@link BookService} and {@link BookRepository}
+ * calls. The interceptor is placed in front of the existing advice
+ * chain, so a service event covers its transaction as well.
+ */
+@Component
+public class JfrMethodEventPostProcessor implements BeanPostProcessor {
+
+    private static final MethodInterceptor SERVICE_INTERCEPTOR = eventInterceptor(ServiceCallEvent::new);
+
+    private static final MethodInterceptor REPOSITORY_INTERCEPTOR = eventInterceptor(RepositoryQueryEvent::new);
+
+    /**
+     * Interceptor timing each call with a new event from {@code events}
+     */
+    private static <E extends Event & MethodEvent> MethodInterceptor eventInterceptor(Supplier<E> events) {
+        return invocation -> {
+            E event = events.get();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            boolean failed = true;
+            try {
+                Object result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.setCall(invocation.getMethod().getName(), failed);
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof BookService) {
+            return advise(bean, SERVICE_INTERCEPTOR);
+        }
+        if (bean instanceof BookRepository) {
+            return advise(bean, REPOSITORY_INTERCEPTOR);
+        }
+        return bean;
+    }
+
+    private static Object advise(Object bean, MethodInterceptor interceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(interceptor);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvisor(0, advisor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!(bean instanceof BookRepository));
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
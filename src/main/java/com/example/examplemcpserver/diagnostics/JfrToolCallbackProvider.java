@@ -0,0 +1,61 @@
+package com.example.examplemcpserver.diagnostics;
+
+import com.example.examplemcpserver.tools.DecoratingToolCallback;
+import com.example.examplemcpserver.tools.ToolResults;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+/**
+ * Wraps the callbacks of a {@link ToolCallbackProvider} so every call
+ * emits a {@link ToolInvocationEvent}.
+ */
+public final class JfrToolCallbackProvider {
+
+    private JfrToolCallbackProvider() {
+    }
+
+    public static ToolCallbackProvider wrap(ToolCallbackProvider delegate) {
+        return DecoratingToolCallback.decorate(delegate, JfrToolCallback::new);
+    }
+
+    static final class JfrToolCallback extends DecoratingToolCallback {
+
+        JfrToolCallback(ToolCallback delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return invoke(toolInput, null, false);
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            return invoke(toolInput, toolContext, true);
+        }
+
+        private String invoke(String toolInput, ToolContext toolContext, boolean withContext) {
+            ToolInvocationEvent event = new ToolInvocationEvent();
+            if (!event.isEnabled()) {
+                return withContext ? delegate.call(toolInput, toolContext) : delegate.call(toolInput);
+            }
+            event.begin();
+            String result = null;
+            try {
+                result = withContext ? delegate.call(toolInput, toolContext) : delegate.call(toolInput);
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.toolName = delegate.getToolDefinition().name();
+                    event.argumentLength = toolInput == null ? 0 : toolInput.length();
+                    event.resultLength = result == null ? 0 : result.length();
+                    // Thrown exceptions leave result null; the tools themselves answer "Error..."
+                    event.failed = result == null || ToolResults.isError(result);
+                    event.commit();
+                }
+            }
+        }
+    }
+}
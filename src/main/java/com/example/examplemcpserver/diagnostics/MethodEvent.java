@@ -0,0 +1,9 @@
+package com.example.examplemcpserver.diagnostics;
+
+/**
+ * An event describing one intercepted method call.
+ */
+interface MethodEvent {
+
+    void setCall(String method, boolean failed);
+}
@@ -0,0 +1,31 @@
+package com.example.examplemcpserver.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A BookRepository call, i.e. one database query or write.
+ */
+@Name("examplemcpserver.RepositoryQuery")
+@Label("Repository Query")
+@Category({"MCP Server", "Repository"})
+@Description("A BookRepository method call")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event implements MethodEvent {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+
+    @Override
+    public void setCall(String method, boolean failed) {
+        this.method = method;
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.examplemcpserver.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Turning a list of books into the text returned by a BookTool method.
+ */
+@Name("examplemcpserver.ResultRender")
+@Label("Result Render")
+@Category({"MCP Server", "Tools"})
+@Description("Rendering of BookTool results into text")
+@StackTrace(false)
+public class ResultRenderEvent extends Event {
+
+    @Label("Books")
+    public int bookCount;
+
+    @Label("Result Length")
+    @Description("Length of the result text in characters")
+    public long resultLength;
+}
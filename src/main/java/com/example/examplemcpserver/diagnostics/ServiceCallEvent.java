@@ -0,0 +1,31 @@
+package com.example.examplemcpserver.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A BookService method call, including its transaction.
+ */
+@Name("examplemcpserver.ServiceCall")
+@Label("Service Call")
+@Category({"MCP Server", "Service"})
+@Description("A BookService method call, including transaction begin and commit")
+@StackTrace(false)
+public class ServiceCallEvent extends Event implements MethodEvent {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+
+    @Override
+    public void setCall(String method, boolean failed) {
+        this.method = method;
+        this.failed = failed;
+    }
+}
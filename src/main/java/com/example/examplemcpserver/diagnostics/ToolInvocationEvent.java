@@ -0,0 +1,33 @@
+package com.example.examplemcpserver.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One MCP tool call, from argument parsing to the serialized result.
+ */
+@Name("examplemcpserver.ToolInvocation")
+@Label("Tool Invocation")
+@Category({"MCP Server", "Tools"})
+@Description("An MCP tool call handled by the server")
+@StackTrace(false)
+public class ToolInvocationEvent extends Event {
+
+    @Label("Tool")
+    public String toolName;
+
+    @Label("Argument Length")
+    @Description("Length of the JSON arguments in characters")
+    public long argumentLength;
+
+    @Label("Result Length")
+    @Description("Length of the result text in characters")
+    public long resultLength;
+
+    @Label("Failed")
+    public boolean failed;
+}
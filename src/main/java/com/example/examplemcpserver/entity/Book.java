@@ -8,7 +8,10 @@ import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_year", columnList = "year_of_publishing"),
+        @Index(name = "idx_books_price", columnList = "price")
+})
 public class Book {
     
     @Id
@@ -2,30 +2,23 @@ package com.example.examplemcpserver.repository;
 
 import com.example.examplemcpserver.entity.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
     
     /**
-     * Find books by book name (case-insensitive)
+     * Constructor expression shared by the {@link BookView} queries
      */
-    List<Book> findByBookNameContainingIgnoreCase(String bookName);
-    
-    /**
-     * Find books by author (case-insensitive)
-     */
-    List<Book> findByAuthorContainingIgnoreCase(String author);
-    
-    /**
-     * Find books by year of publishing
-     */
-    List<Book> findByYearOfPublishing(Integer year);
+    String BOOK_VIEW = "SELECT new com.example.examplemcpserver.repository.BookView("
+            + "b.id, b.bookName, b.author, b.yearOfPublishing, b.price) FROM Book b ";
     
     /**
      * Find books by year range
@@ -44,9 +37,51 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     List<Book> findAllOrderByYearDesc();
     
     /**
-     * Custom query to find books by price range
+     * Count, distinct authors, year bounds and price bounds in a single aggregate query
+     */
+    @Query("SELECT new com.example.examplemcpserver.repository.LibraryStats("
+            + "COUNT(b), COUNT(DISTINCT b.author), MIN(b.yearOfPublishing), MAX(b.yearOfPublishing), "
+            + "MIN(b.price), MAX(b.price)) FROM Book b")
+    LibraryStats getLibraryStats();
+    
+    /**
+     * Distinct author names
+     */
+    @Query("SELECT DISTINCT b.author FROM Book b")
+    List<String> findDistinctAuthors();
+    
+    /**
+     * All books as read-only projections
+     */
+    @Query(BOOK_VIEW + "ORDER BY b.id")
+    List<BookView> findAllViews();
+    
+    /**
+     * Projections of books by book name (case-insensitive, partial match)
+     */
+    List<BookView> findViewsByBookNameContainingIgnoreCaseOrderByIdAsc(String bookName);
+    
+    /**
+     * Projections of books by author (case-insensitive, partial match)
+     */
+    List<BookView> findViewsByAuthorContainingIgnoreCaseOrderByIdAsc(String author);
+    
+    /**
+     * Projections of the books with the given IDs, in no particular order
+     */
+    @Query(BOOK_VIEW + "WHERE b.id IN :ids")
+    List<BookView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Projections of books by year of publishing
+     */
+    @Query(BOOK_VIEW + "WHERE b.yearOfPublishing = :year ORDER BY b.id")
+    List<BookView> findViewsByYear(@Param("year") Integer year);
+    
+    /**
+     * Projections of books by price range
      */
-    @Query("SELECT b FROM Book b WHERE b.price BETWEEN :minPrice AND :maxPrice")
-    List<Book> findByPriceRange(@Param("minPrice") java.math.BigDecimal minPrice, 
-                               @Param("maxPrice") java.math.BigDecimal maxPrice);
+    @Query(BOOK_VIEW + "WHERE b.price BETWEEN :minPrice AND :maxPrice ORDER BY b.id")
+    List<BookView> findViewsByPriceRange(@Param("minPrice") java.math.BigDecimal minPrice, 
+                                         @Param("maxPrice") java.math.BigDecimal maxPrice);
 }
@@ -0,0 +1,20 @@
+package com.example.examplemcpserver.repository;
+
+import com.example.examplemcpserver.entity.Book;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Queries of {@link BookRepository} that cannot be derived or declared
+ * with {@code @Query}.
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Books matching a specification as {@link BookView} projections,
+     * ordered and limited by the database
+     */
+    List<BookView> findViews(Specification<Book> spec, Sort sort, int limit);
+}
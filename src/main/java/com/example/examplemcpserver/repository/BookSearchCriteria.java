@@ -0,0 +1,90 @@
+package com.example.examplemcpserver.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+/**
+ * Combined filter, ordering and limit for a single book search.
+ * Any filter left as null is not applied.
+ */
+public record BookSearchCriteria(
+        String bookName,
+        String author,
+        Integer minYear,
+        Integer maxYear,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        String sortBy,
+        Sort.Direction sortDirection,
+        int limit) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Criteria from raw tool parameters, parsing the sort direction and
+     * applying the default limit
+     *
+     * @throws IllegalArgumentException for an unknown sort direction or a non-positive limit
+     */
+    public static BookSearchCriteria fromToolInput(String bookName, String author,
+                                                   Integer minYear, Integer maxYear,
+                                                   BigDecimal minPrice, BigDecimal maxPrice,
+                                                   String sortBy, String sortDirection, Integer limit) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+        Sort.Direction direction;
+        try {
+            direction = sortDirection == null || sortDirection.isBlank()
+                    ? Sort.Direction.ASC : Sort.Direction.fromString(sortDirection.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Sort direction must be 'asc' or 'desc'");
+        }
+        return new BookSearchCriteria(bookName, author, minYear, maxYear, minPrice, maxPrice,
+                sortBy, direction, limit == null ? DEFAULT_LIMIT : limit);
+    }
+
+    /**
+     * Requested limit, defaulted and capped at {@link #MAX_LIMIT}
+     */
+    public int effectiveLimit() {
+        return Math.min(limit > 0 ? limit : DEFAULT_LIMIT, MAX_LIMIT);
+    }
+
+    public boolean hasName() {
+        return bookName != null && !bookName.isBlank();
+    }
+
+    public boolean hasAuthor() {
+        return author != null && !author.isBlank();
+    }
+
+    public boolean hasYearRange() {
+        return minYear != null || maxYear != null;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    /**
+     * Map the sort key accepted by the tool layer to an entity property
+     */
+    public Sort toSort() {
+        String property = switch (sortBy == null ? "" : sortBy.trim().toLowerCase()) {
+            case "name", "title", "bookname" -> "bookName";
+            case "author" -> "author";
+            case "year", "yearofpublishing" -> "yearOfPublishing";
+            case "price" -> "price";
+            case "", "id" -> "id";
+            default -> throw new IllegalArgumentException(
+                "Unsupported sort field '" + sortBy + "' (use name, author, year, price or id)");
+        };
+        Sort.Direction direction = sortDirection == null ? Sort.Direction.ASC : sortDirection;
+        Sort sort = Sort.by(direction, property);
+        // Keep paging stable when the sort key has duplicates
+        return "id".equals(property) ? sort : sort.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+}
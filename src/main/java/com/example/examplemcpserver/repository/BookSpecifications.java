@@ -0,0 +1,89 @@
+package com.example.examplemcpserver.repository;
+
+import com.example.examplemcpserver.entity.Book;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a single Criteria query out of a {@link BookSearchCriteria}.
+ *
+ * Year and price ranges are emitted as plain comparisons the database can
+ * answer from the year and price indexes; which index to use is left to
+ * its optimizer. Substring filters escape LIKE wildcards the same way the
+ * derived {@code Containing} queries do.
+ */
+public final class BookSpecifications {
+
+    private static final EscapeCharacter ESCAPE = EscapeCharacter.DEFAULT;
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Combine every filter set in the given criteria
+     */
+    public static Specification<Book> forCriteria(BookSearchCriteria criteria) {
+        Specification<Book> spec = (root, query, cb) -> cb.conjunction();
+        if (criteria.hasYearRange()) {
+            spec = spec.and(yearBetween(criteria.minYear(), criteria.maxYear()));
+        }
+        if (criteria.hasPriceRange()) {
+            spec = spec.and(priceBetween(criteria.minPrice(), criteria.maxPrice()));
+        }
+        if (criteria.hasName()) {
+            spec = spec.and(nameContains(criteria.bookName().trim()));
+        }
+        if (criteria.hasAuthor()) {
+            spec = spec.and(authorContains(criteria.author().trim()));
+        }
+        return spec;
+    }
+
+    public static Specification<Book> nameContains(String bookName) {
+        String pattern = containsPattern(bookName);
+        return (root, query, cb) -> cb.like(cb.lower(root.get("bookName")), pattern, ESCAPE.getEscapeCharacter());
+    }
+
+    public static Specification<Book> authorContains(String author) {
+        String pattern = containsPattern(author);
+        return (root, query, cb) -> cb.like(cb.lower(root.get("author")), pattern, ESCAPE.getEscapeCharacter());
+    }
+
+    public static Specification<Book> yearBetween(Integer minYear, Integer maxYear) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (minYear != null && minYear.equals(maxYear)) {
+                return cb.equal(root.get("yearOfPublishing"), minYear);
+            }
+            if (minYear != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("yearOfPublishing"), minYear));
+            }
+            if (maxYear != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("yearOfPublishing"), maxYear));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Book> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String containsPattern(String text) {
+        return "%" + ESCAPE.escape(text.toLowerCase()) + "%";
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.examplemcpserver.repository;
+
+import com.example.examplemcpserver.entity.Book;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a book for list and search results. Built
+ * straight from the query row, so no managed entity or persistence context
+ * snapshot is created.
+ */
+public record BookView(
+        Long id,
+        String bookName,
+        String author,
+        Integer yearOfPublishing,
+        BigDecimal price) {
+
+    public static BookView from(Book book) {
+        return new BookView(book.getId(), book.getBookName(), book.getAuthor(),
+                book.getYearOfPublishing(), book.getPrice());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.examplemcpserver.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregates over one catalog, computed by the database.
+ * Year and price bounds are null when the catalog is empty.
+ */
+public record LibraryStats(
+        long totalBooks,
+        long uniqueAuthors,
+        Integer earliestYear,
+        Integer latestYear,
+        BigDecimal minPrice,
+        BigDecimal maxPrice) {
+}
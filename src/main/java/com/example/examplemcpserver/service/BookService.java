@@ -2,12 +2,18 @@ package com.example.examplemcpserver.service;
 
 import com.example.examplemcpserver.entity.Book;
 import com.example.examplemcpserver.repository.BookRepository;
+import com.example.examplemcpserver.repository.BookSearchCriteria;
+import com.example.examplemcpserver.repository.BookSpecifications;
+import com.example.examplemcpserver.repository.BookView;
+import com.example.examplemcpserver.repository.LibraryStats;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,8 +29,10 @@ public class BookService {
     }
     
     /**
-     * Add a new book
+     * Add a new book. Rejections leave a surrounding transaction usable,
+     * so write-behind batches can fail a single item and still commit.
      */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
     public Book addBook(@Valid Book book) {
         // Check if book with same name and author already exists
         Optional<Book> existingBook = bookRepository.findByBookNameIgnoreCaseAndAuthorIgnoreCase(
@@ -39,11 +47,11 @@ public class BookService {
     }
     
     /**
-     * Get all books
+     * Get all books as read-only projections
      */
     @Transactional(readOnly = true)
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    public List<BookView> getAllBooks() {
+        return bookRepository.findAllViews();
     }
     
     /**
@@ -54,9 +62,19 @@ public class BookService {
         return bookRepository.findById(id);
     }
     
+    /**
+     * Get several books by ID in one query. Missing IDs are simply absent
+     * from the result.
+     */
+    @Transactional(readOnly = true)
+    public List<BookView> getBooksByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : bookRepository.findViewsByIdIn(ids);
+    }
+    
     /**
      * Update an existing book
      */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
     public Book updateBook(Long id, @Valid Book updatedBook) {
         Optional<Book> existingBookOpt = bookRepository.findById(id);
         
@@ -100,24 +118,24 @@ public class BookService {
      * Search books by name
      */
     @Transactional(readOnly = true)
-    public List<Book> searchBooksByName(String bookName) {
-        return bookRepository.findByBookNameContainingIgnoreCase(bookName);
+    public List<BookView> searchBooksByName(String bookName) {
+        return bookRepository.findViewsByBookNameContainingIgnoreCaseOrderByIdAsc(bookName);
     }
     
     /**
      * Search books by author
      */
     @Transactional(readOnly = true)
-    public List<Book> searchBooksByAuthor(String author) {
-        return bookRepository.findByAuthorContainingIgnoreCase(author);
+    public List<BookView> searchBooksByAuthor(String author) {
+        return bookRepository.findViewsByAuthorContainingIgnoreCaseOrderByIdAsc(author);
     }
     
     /**
      * Get books by year
      */
     @Transactional(readOnly = true)
-    public List<Book> getBooksByYear(Integer year) {
-        return bookRepository.findByYearOfPublishing(year);
+    public List<BookView> getBooksByYear(Integer year) {
+        return bookRepository.findViewsByYear(year);
     }
     
     /**
@@ -132,8 +150,18 @@ public class BookService {
      * Get books by price range
      */
     @Transactional(readOnly = true)
-    public List<Book> getBooksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return bookRepository.findByPriceRange(minPrice, maxPrice);
+    public List<BookView> getBooksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        return bookRepository.findViewsByPriceRange(minPrice, maxPrice);
+    }
+    
+    /**
+     * Find books matching any combination of filters in a single query,
+     * with ordering and limit applied by the database
+     */
+    @Transactional(readOnly = true)
+    public List<BookView> findBooks(BookSearchCriteria criteria) {
+        return bookRepository.findViews(BookSpecifications.forCriteria(criteria),
+                criteria.toSort(), criteria.effectiveLimit());
     }
     
     /**
@@ -151,4 +179,27 @@ public class BookService {
     public long getTotalBooksCount() {
         return bookRepository.count();
     }
+    
+    /**
+     * Get count, distinct authors, year bounds and price bounds of the catalog
+     */
+    @Transactional(readOnly = true)
+    public LibraryStats getLibraryStats() {
+        return bookRepository.getLibraryStats();
+    }
+    
+    /**
+     * Get the catalog aggregates together with the distinct author names,
+     * read from one snapshot so both describe the same set of books
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CatalogSummary getCatalogSummary() {
+        return new CatalogSummary(bookRepository.getLibraryStats(), bookRepository.findDistinctAuthors());
+    }
+    
+    /**
+     * Aggregates of one catalog and the names of its authors
+     */
+    public record CatalogSummary(LibraryStats stats, List<String> authors) {
+    }
 }
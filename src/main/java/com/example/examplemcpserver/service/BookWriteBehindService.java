@@ -0,0 +1,233 @@
+package com.example.examplemcpserver.service;
+
+import com.example.examplemcpserver.config.CatalogShardContext;
+import com.example.examplemcpserver.entity.Book;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional write-behind mode for book mutations.
+ *
+ * Callers enqueue add/update requests into a bounded lock-free queue and
+ * get a future back. A single writer thread drains the queue and commits
+ * everything it took in one transaction, so the commit cost is shared by
+ * the whole batch. A future only completes after its batch committed, so
+ * an acknowledged write is as durable as a direct {@link BookService} call.
+ * Writes remember the catalog shard of their caller; a drained batch is
+ * committed as one transaction per shard.
+ *
+ * Enabled with {@code books.write-behind.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "books.write-behind", name = "enabled", havingValue = "true")
+public class BookWriteBehindService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BookWriteBehindService.class);
+
+    private final BookService bookService;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final int batchSize;
+
+    private final ConcurrentLinkedQueue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public BookWriteBehindService(BookService bookService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${books.write-behind.capacity:10000}") int capacity,
+                                  @Value("${books.write-behind.batch-size:500}") int batchSize) {
+        this.bookService = bookService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Enqueue a new book, completing with the saved book once its batch committed
+     */
+    public CompletableFuture<Book> addBook(Book book) {
+        return enqueue(new PendingWrite(CatalogShardContext.currentShard(), null, book));
+    }
+
+    /**
+     * Enqueue an update, completing with the updated book once its batch committed
+     */
+    public CompletableFuture<Book> updateBook(Long id, Book updatedBook) {
+        return enqueue(new PendingWrite(CatalogShardContext.currentShard(), id, updatedBook));
+    }
+
+    private CompletableFuture<Book> enqueue(PendingWrite write) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Write-behind queue is not running"));
+        }
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                "Write-behind queue is full (" + capacity + " pending writes), retry later"));
+        }
+        queue.offer(write);
+        // The writer may have drained its last batch and exited since the check above
+        if (!running && queue.remove(write)) {
+            pending.decrementAndGet();
+            write.result().completeExceptionally(new IllegalStateException("Write-behind queue is not running"));
+            return write.result();
+        }
+        Thread w = writer;
+        if (w != null) {
+            LockSupport.unpark(w);
+        }
+        return write.result();
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            PendingWrite write;
+            while (batch.size() < batchSize && (write = queue.poll()) != null) {
+                batch.add(write);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(50));
+                continue;
+            }
+            pending.addAndGet(-batch.size());
+            for (Map.Entry<String, List<PendingWrite>> shardBatch : byShard(batch).entrySet()) {
+                CatalogShardContext.runInShard(shardBatch.getKey(), () -> commitBatch(shardBatch.getValue()));
+            }
+            batch.clear();
+        }
+    }
+
+    private static Map<String, List<PendingWrite>> byShard(List<PendingWrite> batch) {
+        Map<String, List<PendingWrite>> shards = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            shards.computeIfAbsent(write.shard(), shard -> new ArrayList<>()).add(write);
+        }
+        return shards;
+    }
+
+    /**
+     * Apply a batch in one transaction. Business rule violations such as
+     * duplicates only fail their own item; any other failure rolls the
+     * batch back and its items are retried one transaction each, so one
+     * bad write cannot fail its neighbours.
+     */
+    private void commitBatch(List<PendingWrite> batch) {
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingWrite write : batch) {
+                    outcomes.add(apply(write));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} book writes failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingWrite write : batch) {
+                commitSingle(write);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            outcomes.get(i).complete(batch.get(i).result());
+        }
+    }
+
+    private void commitSingle(PendingWrite write) {
+        if (write.id() == null) {
+            // Drop the identity assigned by the rolled back insert
+            write.book().setId(null);
+        }
+        try {
+            Outcome outcome = transactionTemplate.execute(status -> apply(write));
+            outcome.complete(write.result());
+        } catch (RuntimeException e) {
+            write.result().completeExceptionally(e);
+        }
+    }
+
+    private Outcome apply(PendingWrite write) {
+        try {
+            Book saved = write.id() == null
+                    ? bookService.addBook(write.book())
+                    : bookService.updateBook(write.id(), write.book());
+            return new Outcome(saved, null);
+        } catch (IllegalArgumentException e) {
+            return new Outcome(null, e);
+        }
+    }
+
+    /**
+     * Start before and stop after the web server, so the queue accepts
+     * writes for as long as requests can arrive, including during
+     * graceful shutdown
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "book-write-behind");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingWrite(String shard, Long id, Book book, CompletableFuture<Book> result) {
+        PendingWrite(String shard, Long id, Book book) {
+            this(shard, id, book, new CompletableFuture<>());
+        }
+    }
+
+    private record Outcome(Book book, RuntimeException error) {
+        void complete(CompletableFuture<Book> result) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(book);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.examplemcpserver.service;
+
+import com.example.examplemcpserver.config.CatalogShardContext;
+import com.example.examplemcpserver.config.CatalogShards;
+import com.example.examplemcpserver.repository.BookSearchCriteria;
+import com.example.examplemcpserver.repository.BookView;
+import com.example.examplemcpserver.repository.LibraryStats;
+import com.example.examplemcpserver.service.BookService.CatalogSummary;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Cross-shard admin queries. Each query runs on every catalog shard in
+ * parallel, one {@link BookService} transaction per shard, and the
+ * per-shard results are merged here.
+ */
+@Service
+public class CatalogFanOutService {
+
+    private final BookService bookService;
+    private final CatalogShards catalogShards;
+    private final ExecutorService executor;
+
+    public CatalogFanOutService(BookService bookService, CatalogShards catalogShards) {
+        this.bookService = bookService;
+        this.catalogShards = catalogShards;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(catalogShards.getShardNames().size(), runnable -> {
+            Thread thread = new Thread(runnable, "catalog-fan-out-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Search every shard and merge the results in the requested order,
+     * keeping at most the requested limit overall
+     */
+    public List<ShardBook> findBooks(BookSearchCriteria criteria) {
+        Map<String, List<BookView>> perShard = fanOut(shard -> bookService.findBooks(criteria));
+
+        List<ShardBook> merged = new ArrayList<>();
+        perShard.forEach((shard, books) -> books.forEach(book -> merged.add(new ShardBook(shard, book))));
+        merged.sort(comparatorFor(criteria.toSort()));
+
+        int limit = criteria.effectiveLimit();
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Statistics over all shards combined, plus the book count of each shard
+     */
+    public CatalogStats getStats() {
+        Map<String, CatalogSummary> perShard = fanOut(shard -> bookService.getCatalogSummary());
+
+        long totalBooks = 0;
+        Integer earliestYear = null;
+        Integer latestYear = null;
+        BigDecimal minPrice = null;
+        BigDecimal maxPrice = null;
+        Set<String> authors = new HashSet<>();
+        Map<String, Long> booksPerShard = new LinkedHashMap<>();
+
+        for (Map.Entry<String, CatalogSummary> entry : perShard.entrySet()) {
+            LibraryStats stats = entry.getValue().stats();
+            booksPerShard.put(entry.getKey(), stats.totalBooks());
+            authors.addAll(entry.getValue().authors());
+            if (stats.totalBooks() == 0) {
+                continue;
+            }
+            totalBooks += stats.totalBooks();
+            earliestYear = earliestYear == null ? stats.earliestYear() : Math.min(earliestYear, stats.earliestYear());
+            latestYear = latestYear == null ? stats.latestYear() : Math.max(latestYear, stats.latestYear());
+            minPrice = minPrice == null ? stats.minPrice() : minPrice.min(stats.minPrice());
+            maxPrice = maxPrice == null ? stats.maxPrice() : maxPrice.max(stats.maxPrice());
+        }
+
+        return new CatalogStats(totalBooks, authors.size(), earliestYear, latestYear, minPrice, maxPrice, booksPerShard);
+    }
+
+    /**
+     * Run a query against every shard in parallel, returning results in shard order
+     */
+    private <T> Map<String, T> fanOut(Function<String, T> query) {
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (String shard : catalogShards.getShardNames()) {
+            futures.put(shard, CompletableFuture.supplyAsync(
+                    () -> CatalogShardContext.callInShard(shard, () -> query.apply(shard)), executor));
+        }
+
+        Map<String, T> results = new LinkedHashMap<>();
+        futures.forEach((shard, future) -> results.put(shard, future.join()));
+        return results;
+    }
+
+    private static Comparator<ShardBook> comparatorFor(Sort sort) {
+        Comparator<ShardBook> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<ShardBook> next = switch (order.getProperty()) {
+                case "bookName" -> Comparator.comparing(sb -> sb.book().bookName());
+                case "author" -> Comparator.comparing(sb -> sb.book().author());
+                case "yearOfPublishing" -> Comparator.comparing(sb -> sb.book().yearOfPublishing());
+                case "price" -> Comparator.comparing(sb -> sb.book().price());
+                default -> Comparator.comparing(sb -> sb.book().id());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<ShardBook> byShard = Comparator.comparing(ShardBook::shard);
+        return comparator == null ? byShard : comparator.thenComparing(byShard);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A book together with the shard it was read from
+     */
+    public record ShardBook(String shard, BookView book) {
+    }
+
+    /**
+     * Statistics merged across all shards
+     */
+    public record CatalogStats(
+            long totalBooks,
+            int uniqueAuthors,
+            Integer earliestYear,
+            Integer latestYear,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Map<String, Long> booksPerShard) {
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.examplemcpserver.tools;
+
+import com.example.examplemcpserver.config.CatalogShardContext;
+import com.example.examplemcpserver.config.CatalogShardToolCallbackProvider;
+import com.example.examplemcpserver.config.CatalogShards;
+import com.example.examplemcpserver.diagnostics.ToolInvocationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+public class BatchTool {
+
+    static final String BATCH_TOOL_NAME = "batch_call";
+
+    private static final String GET_BOOK_BY_ID = "get_book_by_id";
+    private static final long BATCH_TIMEOUT_SECONDS = 30;
+
+    // Per-call state, so a call is either started by a worker or cancelled by the caller, never both
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private final ObjectProvider<ToolCallbackProvider> toolCallbackProviders;
+    private final BookTool bookTool;
+    private final CatalogShards catalogShards;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final int maxCalls;
+
+    private volatile Map<String, ToolCallback> toolCallbacks;
+
+    @Autowired
+    public BatchTool(ObjectProvider<ToolCallbackProvider> toolCallbackProviders,
+                     BookTool bookTool,
+                     CatalogShards catalogShards,
+                     ObjectMapper objectMapper,
+                     @Value("${batch.max-parallelism:8}") int maxParallelism,
+                     @Value("${batch.max-calls:100}") int maxCalls,
+                     @Value("${batch.queue-capacity:200}") int queueCapacity) {
+        this.toolCallbackProviders = toolCallbackProviders;
+        this.bookTool = bookTool;
+        this.catalogShards = catalogShards;
+        this.objectMapper = objectMapper;
+        this.maxCalls = maxCalls;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Shared by all sessions; the bounded queue rejects calls instead of piling them up
+        this.executor = new ThreadPoolExecutor(maxParallelism, maxParallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "batch-call-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Tool(name = BATCH_TOOL_NAME, description = "Run several independent tool calls in one request. "
+            + "Calls run in parallel and results come back in the same order as the calls; "
+            + "multiple get_book_by_id calls are answered with a single lookup")
+    public List<BatchResult> batchCall(
+            @ToolParam(description = "Tool calls to run, each with the tool name and its arguments") List<BatchCall> calls,
+            ToolContext toolContext) {
+        if (calls == null || calls.isEmpty()) {
+            return List.of();
+        }
+        if (calls.size() > maxCalls) {
+            return List.of(BatchResult.failure(BATCH_TOOL_NAME,
+                    "Error: A batch may contain at most " + maxCalls + " calls, got " + calls.size()));
+        }
+
+        AtomicReferenceArray<BatchResult> results = new AtomicReferenceArray<>(calls.size());
+        AtomicIntegerArray states = new AtomicIntegerArray(calls.size());
+        List<Future<?>> tasks = new ArrayList<>();
+        List<Integer> bookLookups = new ArrayList<>();
+
+        for (int i = 0; i < calls.size(); i++) {
+            BatchCall call = calls.get(i);
+            if (call == null || call.tool() == null || call.tool().isBlank()) {
+                results.set(i, BatchResult.failure(null, "Error: Tool name cannot be empty"));
+            } else if (GET_BOOK_BY_ID.equals(call.tool()) && bookIdOf(call) != null) {
+                // Lookups whose ID does not parse go through get_book_by_id itself for its own error
+                bookLookups.add(i);
+            } else {
+                int index = i;
+                submit(tasks, List.of(index), states, results, calls, () -> {
+                    if (states.compareAndSet(index, PENDING, RUNNING)) {
+                        results.set(index, invoke(call, toolContext));
+                    }
+                });
+            }
+        }
+
+        if (bookLookups.size() == 1) {
+            int index = bookLookups.get(0);
+            submit(tasks, bookLookups, states, results, calls, () -> {
+                if (states.compareAndSet(index, PENDING, RUNNING)) {
+                    results.set(index, invoke(calls.get(index), toolContext));
+                }
+            });
+        } else if (!bookLookups.isEmpty()) {
+            submit(tasks, bookLookups, states, results, calls,
+                    () -> mergeBookLookups(calls, bookLookups, states, results, toolContext));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BATCH_TIMEOUT_SECONDS);
+        for (Future<?> task : tasks) {
+            try {
+                task.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                // Tasks record their own failures; anything left without a result is reported below
+            } catch (TimeoutException e) {
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Calls still queued never start; running ones are interrupted
+        tasks.forEach(task -> task.cancel(true));
+
+        List<BatchResult> ordered = new ArrayList<>(calls.size());
+        for (int i = 0; i < calls.size(); i++) {
+            BatchResult result = results.get(i);
+            if (result == null) {
+                result = states.compareAndSet(i, PENDING, CANCELLED)
+                        ? BatchResult.failure(calls.get(i).tool(), "Error: Call was not started within "
+                                + BATCH_TIMEOUT_SECONDS + " seconds and has been cancelled")
+                        : BatchResult.failure(calls.get(i).tool(), "Error: Call did not complete within "
+                                + BATCH_TIMEOUT_SECONDS + " seconds and has been cancelled, "
+                                + "but it was already running and may still have been applied");
+            }
+            ordered.add(result);
+        }
+        return ordered;
+    }
+
+    /**
+     * Queue a task for the given calls, failing them right away when the
+     * executor queue is full
+     */
+    private void submit(List<Future<?>> tasks, List<Integer> indexes, AtomicIntegerArray states,
+                        AtomicReferenceArray<BatchResult> results, List<BatchCall> calls, Runnable task) {
+        try {
+            tasks.add(executor.submit(task));
+        } catch (RejectedExecutionException e) {
+            for (int index : indexes) {
+                states.set(index, CANCELLED);
+                results.set(index, BatchResult.failure(calls.get(index).tool(),
+                        "Error: Too many batch calls in progress, retry later"));
+            }
+        }
+    }
+
+    private BatchResult invoke(BatchCall call, ToolContext toolContext) {
+        ToolCallback callback = toolCallbacks().get(call.tool());
+        if (callback == null) {
+            return BatchResult.failure(call.tool(), "Error: Unknown tool '" + call.tool() + "'");
+        }
+        try {
+            String arguments = objectMapper.writeValueAsString(
+                    call.arguments() == null ? Map.of() : call.arguments());
+            String result = toolContext == null ? callback.call(arguments) : callback.call(arguments, toolContext);
+            return toResult(call.tool(), toJson(result));
+        } catch (Exception e) {
+            return BatchResult.failure(call.tool(), "Error calling " + call.tool() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Answer all get_book_by_id calls of a batch with one findAllById query
+     * on the caller's catalog shard. The lookup bypasses the registered
+     * callbacks, so it records one {@link ToolInvocationEvent} itself.
+     */
+    private void mergeBookLookups(List<BatchCall> calls, List<Integer> indexes, AtomicIntegerArray states,
+                                  AtomicReferenceArray<BatchResult> results, ToolContext toolContext) {
+        List<Integer> claimed = new ArrayList<>(indexes.size());
+        List<Long> bookIds = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            if (states.compareAndSet(index, PENDING, RUNNING)) {
+                claimed.add(index);
+                bookIds.add(bookIdOf(calls.get(index)));
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        ToolInvocationEvent event = new ToolInvocationEvent();
+        boolean recording = event.isEnabled();
+        if (recording) {
+            event.begin();
+        }
+        List<String> books = null;
+        try {
+            String shard = catalogShards.shardForTenant(CatalogShardToolCallbackProvider.tenantOf(toolContext));
+            books = CatalogShardContext.callInShard(shard, () -> bookTool.getBooksByIds(bookIds));
+            for (int i = 0; i < claimed.size(); i++) {
+                results.set(claimed.get(i), toResult(GET_BOOK_BY_ID, TextNode.valueOf(books.get(i))));
+            }
+        } catch (Exception e) {
+            for (int index : claimed) {
+                results.set(index, BatchResult.failure(GET_BOOK_BY_ID,
+                        "Error calling " + GET_BOOK_BY_ID + ": " + e.getMessage()));
+            }
+        } finally {
+            if (recording) {
+                event.end();
+            }
+            if (recording && event.shouldCommit()) {
+                event.toolName = GET_BOOK_BY_ID;
+                event.argumentLength = bookIds.toString().length();
+                event.resultLength = books == null ? 0 : books.stream().mapToLong(String::length).sum();
+                event.failed = books == null || books.stream().anyMatch(ToolResults::isError);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Tools answer failures with "Error..." text; report those as failed calls
+     */
+    private static BatchResult toResult(String tool, JsonNode result) {
+        if (result != null && result.isTextual() && ToolResults.isError(result.asText())) {
+            return BatchResult.failure(tool, result.asText());
+        }
+        return BatchResult.success(tool, result);
+    }
+
+    private Map<String, ToolCallback> toolCallbacks() {
+        Map<String, ToolCallback> callbacks = toolCallbacks;
+        if (callbacks == null) {
+            callbacks = new HashMap<>();
+            for (ToolCallbackProvider provider : toolCallbackProviders.orderedStream().toList()) {
+                for (ToolCallback callback : provider.getToolCallbacks()) {
+                    String name = callback.getToolDefinition().name();
+                    // Nested batches could exhaust the executor waiting on themselves
+                    if (!BATCH_TOOL_NAME.equals(name)) {
+                        callbacks.put(name, callback);
+                    }
+                }
+            }
+            toolCallbacks = callbacks;
+        }
+        return callbacks;
+    }
+
+    /**
+     * Tool results are JSON; keep them structured in the batch response
+     */
+    private JsonNode toJson(String result) {
+        if (result == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(result);
+        } catch (JsonProcessingException e) {
+            return TextNode.valueOf(result);
+        }
+    }
+
+    /**
+     * The bookId argument of a get_book_by_id call, or null when it is not
+     * an integral number
+     */
+    private static Long bookIdOf(BatchCall call) {
+        Object value = call.arguments() == null ? null : call.arguments().get("bookId");
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public record BatchCall(
+            @ToolParam(description = "Name of the tool to call, e.g. get_book_by_id or add") String tool,
+            @ToolParam(description = "Arguments of the tool call as an object", required = false) Map<String, Object> arguments) {
+    }
+
+    public record BatchResult(String tool, boolean success, JsonNode result, String error) {
+
+        static BatchResult success(String tool, JsonNode result) {
+            return new BatchResult(tool, true, result, null);
+        }
+
+        static BatchResult failure(String tool, String error) {
+            return new BatchResult(tool, false, null, error);
+        }
+    }
+}
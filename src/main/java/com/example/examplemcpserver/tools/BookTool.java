@@ -1,23 +1,42 @@
 package com.example.examplemcpserver.tools;
 
+import com.example.examplemcpserver.diagnostics.ResultRenderEvent;
 import com.example.examplemcpserver.entity.Book;
+import com.example.examplemcpserver.repository.BookSearchCriteria;
+import com.example.examplemcpserver.repository.BookView;
+import com.example.examplemcpserver.repository.LibraryStats;
 import com.example.examplemcpserver.service.BookService;
+import com.example.examplemcpserver.service.BookWriteBehindService;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class BookTool {
     
+    private static final long WRITE_BEHIND_TIMEOUT_SECONDS = 30;
+    
     private final BookService bookService;
+    private final BookWriteBehindService writeBehindService;
     
     @Autowired
-    public BookTool(BookService bookService) {
+    public BookTool(BookService bookService, ObjectProvider<BookWriteBehindService> writeBehindService) {
         this.bookService = bookService;
+        this.writeBehindService = writeBehindService.getIfAvailable();
     }
     
     @Tool(name = "add_book", description = "Add a new book to the library")
@@ -37,7 +56,9 @@ public class BookTool {
             }
             
             Book book = new Book(bookName.trim(), author.trim(), yearOfPublishing, BigDecimal.valueOf(price));
-            Book savedBook = bookService.addBook(book);
+            Book savedBook = writeBehindService != null
+                    ? awaitCommit(writeBehindService.addBook(book))
+                    : bookService.addBook(book);
             
             return String.format("Successfully added book: '%s' by %s (ID: %d, Year: %d, Price: $%.2f)", 
                     savedBook.getBookName(), savedBook.getAuthor(), savedBook.getId(), 
@@ -93,7 +114,9 @@ public class BookTool {
             }
             
             Book updatedBook = new Book(bookName.trim(), author.trim(), yearOfPublishing, BigDecimal.valueOf(price));
-            Book savedBook = bookService.updateBook(bookId, updatedBook);
+            Book savedBook = writeBehindService != null
+                    ? awaitCommit(writeBehindService.updateBook(bookId, updatedBook))
+                    : bookService.updateBook(bookId, updatedBook);
             
             return String.format("Successfully updated book: '%s' by %s (ID: %d, Year: %d, Price: $%.2f)", 
                     savedBook.getBookName(), savedBook.getAuthor(), savedBook.getId(), 
@@ -106,21 +129,13 @@ public class BookTool {
     @Tool(name = "get_all_books", description = "Get all books in the library")
     public String getAllBooks() {
         try {
-            List<Book> books = bookService.getAllBooks();
+            List<BookView> books = bookService.getAllBooks();
             
             if (books.isEmpty()) {
                 return "No books found in the library";
             }
             
-            StringBuilder result = new StringBuilder("Books in the library:\n");
-            for (Book book : books) {
-                result.append(String.format("ID: %d | '%s' by %s | Year: %d | Price: $%.2f\n", 
-                        book.getId(), book.getBookName(), book.getAuthor(), 
-                        book.getYearOfPublishing(), book.getPrice()));
-            }
-            
-            result.append(String.format("\nTotal books: %d", books.size()));
-            return result.toString();
+            return renderBooks("Books in the library:\n", books, true, "\nTotal books: %d");
         } catch (Exception e) {
             return "Error retrieving books: " + e.getMessage();
         }
@@ -139,15 +154,49 @@ public class BookTool {
                 return "Book with ID " + bookId + " not found";
             }
             
-            Book book = bookOpt.get();
-            return String.format("Book Details:\nID: %d\nTitle: '%s'\nAuthor: %s\nYear: %d\nPrice: $%.2f", 
-                    book.getId(), book.getBookName(), book.getAuthor(), 
-                    book.getYearOfPublishing(), book.getPrice());
+            return describeBook(BookView.from(bookOpt.get()));
         } catch (Exception e) {
             return "Error retrieving book: " + e.getMessage();
         }
     }
     
+    /**
+     * Look up several books in one query, returning for each ID the same
+     * text {@link #getBookById(Long)} would. Used to merge batched lookups.
+     */
+    public List<String> getBooksByIds(List<Long> bookIds) {
+        try {
+            List<Long> validIds = bookIds.stream()
+                    .filter(id -> id != null && id > 0)
+                    .distinct()
+                    .toList();
+            Map<Long, BookView> found = new HashMap<>();
+            for (BookView book : bookService.getBooksByIds(validIds)) {
+                found.put(book.id(), book);
+            }
+            
+            List<String> results = new ArrayList<>(bookIds.size());
+            for (Long bookId : bookIds) {
+                if (bookId == null || bookId <= 0) {
+                    results.add("Error: Book ID must be a positive number");
+                } else if (!found.containsKey(bookId)) {
+                    results.add("Book with ID " + bookId + " not found");
+                } else {
+                    results.add(describeBook(found.get(bookId)));
+                }
+            }
+            return results;
+        } catch (Exception e) {
+            return Collections.nCopies(bookIds.size(), "Error retrieving book: " + e.getMessage());
+        }
+    }
+    
+    private static String describeBook(BookView book) {
+        return String.format("Book Details:\nID: %d\nTitle: '%s'\nAuthor: %s\nYear: %d\nPrice: $%.2f", 
+                book.id(), book.bookName(), book.author(), 
+                book.yearOfPublishing(), book.price());
+    }
+    
     @Tool(name = "search_books_by_name", description = "Search books by book name (partial match)")
     public String searchBooksByName(String bookName) {
         try {
@@ -155,21 +204,13 @@ public class BookTool {
                 return "Error: Book name cannot be empty";
             }
             
-            List<Book> books = bookService.searchBooksByName(bookName.trim());
+            List<BookView> books = bookService.searchBooksByName(bookName.trim());
             
             if (books.isEmpty()) {
                 return "No books found with name containing: " + bookName;
             }
             
-            StringBuilder result = new StringBuilder(String.format("Books matching '%s':\n", bookName));
-            for (Book book : books) {
-                result.append(String.format("ID: %d | '%s' by %s | Year: %d | Price: $%.2f\n", 
-                        book.getId(), book.getBookName(), book.getAuthor(), 
-                        book.getYearOfPublishing(), book.getPrice()));
-            }
-            
-            result.append(String.format("\nFound %d books", books.size()));
-            return result.toString();
+            return renderBooks(String.format("Books matching '%s':\n", bookName), books, true, "\nFound %d books");
         } catch (Exception e) {
             return "Error searching books: " + e.getMessage();
         }
@@ -182,21 +223,13 @@ public class BookTool {
                 return "Error: Author name cannot be empty";
             }
             
-            List<Book> books = bookService.searchBooksByAuthor(author.trim());
+            List<BookView> books = bookService.searchBooksByAuthor(author.trim());
             
             if (books.isEmpty()) {
                 return "No books found by author containing: " + author;
             }
             
-            StringBuilder result = new StringBuilder(String.format("Books by authors matching '%s':\n", author));
-            for (Book book : books) {
-                result.append(String.format("ID: %d | '%s' by %s | Year: %d | Price: $%.2f\n", 
-                        book.getId(), book.getBookName(), book.getAuthor(), 
-                        book.getYearOfPublishing(), book.getPrice()));
-            }
-            
-            result.append(String.format("\nFound %d books", books.size()));
-            return result.toString();
+            return renderBooks(String.format("Books by authors matching '%s':\n", author), books, true, "\nFound %d books");
         } catch (Exception e) {
             return "Error searching books: " + e.getMessage();
         }
@@ -209,20 +242,13 @@ public class BookTool {
                 return "Error: Year must be a positive number";
             }
             
-            List<Book> books = bookService.getBooksByYear(year);
+            List<BookView> books = bookService.getBooksByYear(year);
             
             if (books.isEmpty()) {
                 return "No books found published in year: " + year;
             }
             
-            StringBuilder result = new StringBuilder(String.format("Books published in %d:\n", year));
-            for (Book book : books) {
-                result.append(String.format("ID: %d | '%s' by %s | Price: $%.2f\n", 
-                        book.getId(), book.getBookName(), book.getAuthor(), book.getPrice()));
-            }
-            
-            result.append(String.format("\nFound %d books", books.size()));
-            return result.toString();
+            return renderBooks(String.format("Books published in %d:\n", year), books, false, "\nFound %d books");
         } catch (Exception e) {
             return "Error retrieving books: " + e.getMessage();
         }
@@ -241,63 +267,77 @@ public class BookTool {
                 return "Error: Minimum price cannot be greater than maximum price";
             }
             
-            List<Book> books = bookService.getBooksByPriceRange(
+            List<BookView> books = bookService.getBooksByPriceRange(
                     BigDecimal.valueOf(minPrice), BigDecimal.valueOf(maxPrice));
             
             if (books.isEmpty()) {
                 return String.format("No books found in price range $%.2f - $%.2f", minPrice, maxPrice);
             }
             
-            StringBuilder result = new StringBuilder(
-                    String.format("Books in price range $%.2f - $%.2f:\n", minPrice, maxPrice));
-            for (Book book : books) {
-                result.append(String.format("ID: %d | '%s' by %s | Year: %d | Price: $%.2f\n", 
-                        book.getId(), book.getBookName(), book.getAuthor(), 
-                        book.getYearOfPublishing(), book.getPrice()));
-            }
-            
-            result.append(String.format("\nFound %d books", books.size()));
-            return result.toString();
+            return renderBooks(String.format("Books in price range $%.2f - $%.2f:\n", minPrice, maxPrice), 
+                    books, true, "\nFound %d books");
         } catch (Exception e) {
             return "Error retrieving books: " + e.getMessage();
         }
     }
     
-    @Tool(name = "get_library_stats", description = "Get statistics about the library")
-    public String getLibraryStats() {
+    @Tool(name = "find_books", description = "Find books matching any combination of name, author, year range and price range, "
+            + "with optional sorting and a result limit, in a single query")
+    public String findBooks(
+            @ToolParam(description = "Book name substring", required = false) String bookName,
+            @ToolParam(description = "Author name substring", required = false) String author,
+            @ToolParam(description = "Earliest year of publishing (inclusive)", required = false) Integer minYear,
+            @ToolParam(description = "Latest year of publishing (inclusive)", required = false) Integer maxYear,
+            @ToolParam(description = "Minimum price (inclusive)", required = false) Double minPrice,
+            @ToolParam(description = "Maximum price (inclusive)", required = false) Double maxPrice,
+            @ToolParam(description = "Sort field: name, author, year, price or id", required = false) String sortBy,
+            @ToolParam(description = "Sort direction: asc or desc", required = false) String sortDirection,
+            @ToolParam(description = "Maximum number of results (default 50, max 500)", required = false) Integer limit) {
         try {
-            long totalBooks = bookService.getTotalBooksCount();
-            List<Book> allBooks = bookService.getAllBooks();
-            
-            if (totalBooks == 0) {
-                return "Library is empty - no books available";
+            if (minYear != null && minYear <= 0 || maxYear != null && maxYear <= 0) {
+                return "Error: Year must be a positive number";
+            }
+            if (minYear != null && maxYear != null && minYear > maxYear) {
+                return "Error: Start year cannot be greater than end year";
+            }
+            if (minPrice != null && minPrice < 0 || maxPrice != null && maxPrice < 0) {
+                return "Error: Price must be a non-negative number";
+            }
+            if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+                return "Error: Minimum price cannot be greater than maximum price";
             }
             
-            // Calculate some basic statistics
-            int earliestYear = allBooks.stream()
-                    .mapToInt(Book::getYearOfPublishing)
-                    .min()
-                    .orElse(0);
+            BookSearchCriteria criteria;
+            try {
+                criteria = BookSearchCriteria.fromToolInput(bookName, author, minYear, maxYear,
+                        minPrice == null ? null : BigDecimal.valueOf(minPrice),
+                        maxPrice == null ? null : BigDecimal.valueOf(maxPrice),
+                        sortBy, sortDirection, limit);
+            } catch (IllegalArgumentException e) {
+                return "Error: " + e.getMessage();
+            }
             
-            int latestYear = allBooks.stream()
-                    .mapToInt(Book::getYearOfPublishing)
-                    .max()
-                    .orElse(0);
+            List<BookView> books = bookService.findBooks(criteria);
             
-            BigDecimal minPrice = allBooks.stream()
-                    .map(Book::getPrice)
-                    .min(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
+            if (books.isEmpty()) {
+                return "No books found matching the given criteria";
+            }
             
-            BigDecimal maxPrice = allBooks.stream()
-                    .map(Book::getPrice)
-                    .max(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
+            return renderBooks("Books matching the given criteria:\n", books, true, "\nFound %d books");
+        } catch (Exception e) {
+            return "Error searching books: " + e.getMessage();
+        }
+    }
+    
+    @Tool(name = "get_library_stats", description = "Get statistics about the library")
+    public String getLibraryStats() {
+        try {
+            // Aggregates are computed by the database instead of loading every book
+            LibraryStats stats = bookService.getLibraryStats();
             
-            long uniqueAuthors = allBooks.stream()
-                    .map(Book::getAuthor)
-                    .distinct()
-                    .count();
+            if (stats.totalBooks() == 0) {
+                return "Library is empty - no books available";
+            }
             
             return String.format("""
                     Library Statistics:
@@ -306,9 +346,60 @@ public class BookTool {
                     Publication Years: %d - %d
                     Price Range: $%.2f - $%.2f
                     """, 
-                    totalBooks, uniqueAuthors, earliestYear, latestYear, minPrice, maxPrice);
+                    stats.totalBooks(), stats.uniqueAuthors(), stats.earliestYear(), stats.latestYear(), 
+                    stats.minPrice(), stats.maxPrice());
         } catch (Exception e) {
             return "Error retrieving library statistics: " + e.getMessage();
         }
     }
+    
+    /**
+     * Wait for a write-behind batch to commit, surfacing the item's own failure
+     */
+    private Book awaitCommit(CompletableFuture<Book> pending) throws Exception {
+        try {
+            return pending.get(WRITE_BEHIND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out after " + WRITE_BEHIND_TIMEOUT_SECONDS
+                    + " seconds waiting for the write to be committed; it is still queued and may be applied later");
+        }
+    }
+    
+    /**
+     * Render a list of books as one line per book followed by a footer with the count
+     */
+    private String renderBooks(String header, List<BookView> books, boolean includeYear, String footerFormat) {
+        ResultRenderEvent event = new ResultRenderEvent();
+        if (!event.isEnabled()) {
+            return formatBooks(header, books, includeYear, footerFormat);
+        }
+        event.begin();
+        String rendered = formatBooks(header, books, includeYear, footerFormat);
+        event.end();
+        if (event.shouldCommit()) {
+            event.bookCount = books.size();
+            event.resultLength = rendered.length();
+            event.commit();
+        }
+        return rendered;
+    }
+    
+    private String formatBooks(String header, List<BookView> books, boolean includeYear, String footerFormat) {
+        StringBuilder result = new StringBuilder(header);
+        for (BookView book : books) {
+            if (includeYear) {
+                result.append(String.format("ID: %d | '%s' by %s | Year: %d | Price: $%.2f\n", 
+                        book.id(), book.bookName(), book.author(), 
+                        book.yearOfPublishing(), book.price()));
+            } else {
+                result.append(String.format("ID: %d | '%s' by %s | Price: $%.2f\n", 
+                        book.id(), book.bookName(), book.author(), book.price()));
+            }
+        }
+        
+        result.append(String.format(footerFormat, books.size()));
+        return result.toString();
+    }
 }
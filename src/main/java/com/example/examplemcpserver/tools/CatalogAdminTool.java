@@ -0,0 +1,101 @@
+package com.example.examplemcpserver.tools;
+
+import com.example.examplemcpserver.repository.BookSearchCriteria;
+import com.example.examplemcpserver.service.CatalogFanOutService;
+import com.example.examplemcpserver.service.CatalogFanOutService.CatalogStats;
+import com.example.examplemcpserver.service.CatalogFanOutService.ShardBook;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cross-catalog tools. Every client that sees them can read every tenant's
+ * catalog, so they are only registered with
+ * {@code catalog.admin-tools-enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog", name = "admin-tools-enabled", havingValue = "true")
+public class CatalogAdminTool {
+
+    private final CatalogFanOutService catalogFanOutService;
+
+    @Autowired
+    public CatalogAdminTool(CatalogFanOutService catalogFanOutService) {
+        this.catalogFanOutService = catalogFanOutService;
+    }
+
+    @Tool(name = "search_all_catalogs", description = "Search books by name and/or author across every library catalog")
+    public String searchAllCatalogs(
+            @ToolParam(description = "Book name substring", required = false) String bookName,
+            @ToolParam(description = "Author name substring", required = false) String author,
+            @ToolParam(description = "Sort field: name, author, year, price or id", required = false) String sortBy,
+            @ToolParam(description = "Sort direction: asc or desc", required = false) String sortDirection,
+            @ToolParam(description = "Maximum number of results (default 50, max 500)", required = false) Integer limit) {
+        try {
+            if ((bookName == null || bookName.trim().isEmpty()) && (author == null || author.trim().isEmpty())) {
+                return "Error: Book name or author must be provided";
+            }
+
+            BookSearchCriteria criteria;
+            try {
+                criteria = BookSearchCriteria.fromToolInput(bookName, author, null, null, null, null,
+                        sortBy, sortDirection, limit);
+            } catch (IllegalArgumentException e) {
+                return "Error: " + e.getMessage();
+            }
+            List<ShardBook> books = catalogFanOutService.findBooks(criteria);
+
+            if (books.isEmpty()) {
+                return "No books found in any catalog";
+            }
+
+            StringBuilder result = new StringBuilder("Books matching across all catalogs:\n");
+            for (ShardBook shardBook : books) {
+                result.append(String.format("Catalog: %s | ID: %d | '%s' by %s | Year: %d | Price: $%.2f\n",
+                        shardBook.shard(), shardBook.book().id(), shardBook.book().bookName(),
+                        shardBook.book().author(), shardBook.book().yearOfPublishing(),
+                        shardBook.book().price()));
+            }
+
+            result.append(String.format("\nFound %d books", books.size()));
+            return result.toString();
+        } catch (Exception e) {
+            return "Error searching catalogs: " + e.getMessage();
+        }
+    }
+
+    @Tool(name = "get_all_catalogs_stats", description = "Get statistics combined over every library catalog")
+    public String getAllCatalogsStats() {
+        try {
+            CatalogStats stats = catalogFanOutService.getStats();
+
+            StringBuilder perCatalog = new StringBuilder();
+            for (Map.Entry<String, Long> entry : stats.booksPerShard().entrySet()) {
+                perCatalog.append(String.format("  %s: %d books\n", entry.getKey(), entry.getValue()));
+            }
+
+            if (stats.totalBooks() == 0) {
+                return "All catalogs are empty - no books available\n" + perCatalog;
+            }
+
+            return String.format("""
+                    Catalog Statistics:
+                    Catalogs: %d
+                    Total Books: %d
+                    Unique Authors: %d
+                    Publication Years: %d - %d
+                    Price Range: $%.2f - $%.2f
+                    Books per Catalog:
+                    %s""",
+                    stats.booksPerShard().size(), stats.totalBooks(), stats.uniqueAuthors(),
+                    stats.earliestYear(), stats.latestYear(), stats.minPrice(), stats.maxPrice(), perCatalog);
+        } catch (Exception e) {
+            return "Error retrieving catalog statistics: " + e.getMessage();
+        }
+    }
+}
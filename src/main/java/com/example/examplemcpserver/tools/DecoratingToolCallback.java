@@ -0,0 +1,54 @@
+package com.example.examplemcpserver.tools;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Base class for callbacks that add behaviour around another tool callback.
+ * Everything is forwarded to the delegate; subclasses override the calls
+ * they decorate.
+ */
+public abstract class DecoratingToolCallback implements ToolCallback {
+
+    protected final ToolCallback delegate;
+
+    protected DecoratingToolCallback(ToolCallback delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * A provider exposing every callback of {@code delegate} wrapped by {@code decorator}
+     */
+    public static ToolCallbackProvider decorate(ToolCallbackProvider delegate,
+                                                Function<ToolCallback, ToolCallback> decorator) {
+        return ToolCallbackProvider.from(Arrays.stream(delegate.getToolCallbacks())
+                .map(decorator)
+                .toList());
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return delegate.call(toolInput);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return delegate.call(toolInput, toolContext);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.examplemcpserver.tools;
+
+/**
+ * The tools report failures as text starting with "Error" rather than by
+ * throwing. Tool callbacks return that text JSON encoded, so it may also
+ * start with a quote.
+ */
+public final class ToolResults {
+
+    private ToolResults() {
+    }
+
+    /**
+     * Whether a tool result is one of the tools' error messages
+     */
+    public static boolean isError(String result) {
+        return result != null && (result.startsWith("Error") || result.startsWith("\"Error"));
+    }
+}